@@ -0,0 +1,148 @@
+package com.example.userapi.cache;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ConcurrentMapCache}, который считает обращения к ключам и номер поколения,
+ * увеличивающийся при каждой инвалидации. Счётчики переживают очистку кеша,
+ * чтобы после {@code allEntries = true} горячие ключи не терялись.
+ * <p>
+ * Учитываются только попадания и записи, поэтому промахи по несуществующим ключам
+ * счётчики не засоряют. Когда отслеживается {@code maxTrackedKeys} ключей, новый ключ
+ * вытесняет пачку наименее востребованных, чтобы недавно ставшие горячими ключи
+ * не ждали, пока старые счётчики затухнут.
+ */
+public class FrequencyTrackingCache extends ConcurrentMapCache {
+    private static final int EVICTION_BATCH_DIVISOR = 10;
+
+    private final ConcurrentMap<Object, Long> accessCounts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxTrackedKeys;
+    private final Object evictionLock = new Object();
+
+    public FrequencyTrackingCache(String name, boolean allowNullValues, int maxTrackedKeys) {
+        super(name, new ConcurrentHashMap<>(256), allowNullValues);
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value != null) {
+            recordAccess(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        recordAccess(key);
+    }
+
+    private void recordAccess(Object key) {
+        if (accessCounts.computeIfPresent(key, (k, count) -> count + 1) != null) {
+            return;
+        }
+        if (accessCounts.size() >= maxTrackedKeys) {
+            evictLeastAccessed();
+        }
+        accessCounts.merge(key, 1L, Long::sum);
+    }
+
+    /**
+     * Удаляет десятую часть отслеживаемых ключей с наименьшими счётчиками. Пачкой, а не
+     * по одному, чтобы сортировка всех счётчиков случалась раз на много новых ключей.
+     */
+    private void evictLeastAccessed() {
+        synchronized (evictionLock) {
+            if (accessCounts.size() < maxTrackedKeys) {
+                return;
+            }
+            List<Map.Entry<Object, Long>> entries = new ArrayList<>(accessCounts.size());
+            accessCounts.forEach((key, count) -> entries.add(Map.entry(key, count)));
+            entries.sort(Map.Entry.comparingByValue());
+            int toEvict = Math.min(entries.size(), Math.max(1, maxTrackedKeys / EVICTION_BATCH_DIVISOR));
+            for (int i = 0; i < toEvict; i++) {
+                accessCounts.remove(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        generation.incrementAndGet();
+        super.evict(key);
+    }
+
+    @Override
+    public synchronized boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public synchronized boolean invalidate() {
+        generation.incrementAndGet();
+        return super.invalidate();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Кладёт записи в кеш, только если с момента {@code expectedGeneration} не было инвалидаций.
+     * Уже закешированные значения не перетираются.
+     */
+    public synchronized boolean warm(Map<?, ?> entries, long expectedGeneration) {
+        if (generation.get() != expectedGeneration) {
+            return false;
+        }
+        entries.forEach(this::putIfAbsent);
+        return true;
+    }
+
+    public List<Object> hottestKeys(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Map.Entry<Object, Long>> top =
+                new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<Object, Long> entry : accessCounts.entrySet()) {
+            if (top.size() < limit) {
+                top.add(Map.entry(entry.getKey(), entry.getValue()));
+            } else if (entry.getValue() > top.peek().getValue()) {
+                top.poll();
+                top.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        List<Map.Entry<Object, Long>> sorted = new ArrayList<>(top);
+        sorted.sort(Map.Entry.<Object, Long>comparingByValue(Comparator.reverseOrder()));
+        return sorted.stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Делит счётчики пополам и забывает обнулившиеся ключи, чтобы частота отражала
+     * недавнюю нагрузку, а размер карты оставался ограниченным.
+     */
+    public void decayAccessCounts() {
+        accessCounts.replaceAll((key, count) -> count >> 1);
+        accessCounts.values().removeIf(count -> count == 0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.userapi.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Set;
+
+/**
+ * {@link ConcurrentMapCacheManager}, в котором кеши из {@code trackedCacheNames}
+ * создаются как {@link FrequencyTrackingCache}, а остальные — как обычные.
+ */
+public class FrequencyTrackingCacheManager extends ConcurrentMapCacheManager {
+    private final Set<String> trackedCacheNames;
+    private final int maxTrackedKeys;
+
+    public FrequencyTrackingCacheManager(Set<String> trackedCacheNames, int maxTrackedKeys, String... cacheNames) {
+        this.trackedCacheNames = Set.copyOf(trackedCacheNames);
+        this.maxTrackedKeys = maxTrackedKeys;
+        setCacheNames(Set.of(cacheNames));
+    }
+
+    @Override
+    protected Cache createConcurrentMapCache(String name) {
+        if (trackedCacheNames.contains(name)) {
+            return new FrequencyTrackingCache(name, isAllowNullValues(), maxTrackedKeys);
+        }
+        return super.createConcurrentMapCache(name);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.userapi.cache;
+
+import com.example.userapi.dto.response.RoleResponseDTO;
+import com.example.userapi.dto.response.UserResponseDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Снимок кеша {@code users} в файле, отображаемом в память.
+ * <p>
+ * Формат: заголовок фиксированной длины (магия, версия формата, отпечаток схемы DTO,
+ * версия таблицы {@code users}, длина и CRC32 полезной нагрузки), затем список
+ * {@link UserResponseDTO} в CBOR.
+ * Файл с другой версией, схемой или контрольной суммой считается отсутствующим.
+ */
+public class UserCacheSnapshotFile {
+    private static final int MAGIC = 0x55534e50;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 8;
+    private static final long SCHEMA_HASH = schemaHash(UserResponseDTO.class, RoleResponseDTO.class);
+
+    public record Snapshot(long usersVersion, List<UserResponseDTO> users) {
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+    private final Path path;
+
+    public UserCacheSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public void write(long usersVersion, List<UserResponseDTO> users) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(users);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + payload.length);
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(SCHEMA_HASH)
+                    .putLong(usersVersion)
+                    .putInt(payload.length)
+                    .putLong(crc.getValue())
+                    .put(payload);
+            buffer.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Optional<Snapshot> read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != SCHEMA_HASH) {
+                return Optional.empty();
+            }
+            long usersVersion = buffer.getLong();
+            int payloadLength = buffer.getInt();
+            long expectedCrc = buffer.getLong();
+            if (payloadLength < 0 || payloadLength != size - HEADER_SIZE) {
+                return Optional.empty();
+            }
+
+            ByteBuffer payload = buffer.slice(HEADER_SIZE, payloadLength);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != expectedCrc) {
+                return Optional.empty();
+            }
+
+            List<UserResponseDTO> users = mapper.readValue(new ByteBufferBackedInputStream(payload),
+                    new TypeReference<List<UserResponseDTO>>() {
+                    });
+            return Optional.of(new Snapshot(usersVersion, users));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static long schemaHash(Class<?>... types) {
+        CRC32 crc = new CRC32();
+        Stream.of(types)
+                .flatMap(type -> Arrays.stream(type.getDeclaredFields())
+                        .sorted(Comparator.comparing(Field::getName))
+                        .map(field -> type.getName() + '.' + field.getName() + ':' + field.getType().getName() + ';'))
+                .forEach(signature -> crc.update(signature.getBytes(StandardCharsets.UTF_8)));
+        return crc.getValue();
+    }
+}
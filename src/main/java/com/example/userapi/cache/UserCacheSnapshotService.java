@@ -0,0 +1,139 @@
+package com.example.userapi.cache;
+
+import com.example.userapi.dto.response.UserResponseDTO;
+import com.example.userapi.mapper.UserMapper;
+import com.example.userapi.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сохраняет самые часто запрашиваемые записи кеша {@code users} в снимок — периодически
+ * и при остановке приложения — и подгружает их обратно при старте, если таблица
+ * {@code users} с тех пор не менялась.
+ * <p>
+ * Изменения отслеживаются по счётчику {@code users_version}, который триггер в базе
+ * увеличивает при каждой вставке, изменении и удалении, поэтому совпадение версий
+ * означает, что ни одна запись снимка не изменилась и не была удалена.
+ * <p>
+ * Периодический снимок берёт только то, что уже лежит в кеше. Горячие ключи, выпавшие
+ * из кеша, догружаются из базы одним запросом лишь при остановке.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "cache-snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserCacheSnapshotService {
+    private static final String USERS_CACHE = "users";
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final FrequencyTrackingCache cache;
+    private final UserCacheSnapshotFile snapshotFile;
+    private final int maxEntries;
+
+    public UserCacheSnapshotService(UserRepository userRepository,
+                                    UserMapper userMapper,
+                                    CacheManager cacheManager,
+                                    @Value("${cache-snapshot.path}") Path path,
+                                    @Value("${cache-snapshot.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.cache = (FrequencyTrackingCache) Objects.requireNonNull(cacheManager.getCache(USERS_CACHE));
+        this.snapshotFile = new UserCacheSnapshotFile(path);
+        this.maxEntries = maxEntries;
+    }
+
+    @Async
+    @EventListener(ApplicationStartedEvent.class)
+    public void restoreSnapshot() {
+        try {
+            long generation = cache.getGeneration();
+            UserCacheSnapshotFile.Snapshot snapshot = snapshotFile.read().orElse(null);
+            if (snapshot == null) {
+                log.info("Снимок кеша пользователей не найден или повреждён, прогрев пропущен");
+                return;
+            }
+            long currentVersion = userRepository.findUsersVersion();
+            if (snapshot.usersVersion() != currentVersion) {
+                log.info("Снимок кеша пользователей устарел (версия {} != {}), прогрев пропущен",
+                        snapshot.usersVersion(), currentVersion);
+                return;
+            }
+
+            Map<UUID, UserResponseDTO> entries = new LinkedHashMap<>();
+            snapshot.users().forEach(user -> entries.put(user.getId(), user));
+            if (cache.warm(entries, generation)) {
+                log.info("Кеш пользователей прогрет из снимка: {} записей", entries.size());
+            } else {
+                log.info("Кеш пользователей изменился во время прогрева, снимок не применён");
+            }
+        } catch (Exception e) {
+            log.warn("Не удалось загрузить снимок кеша пользователей", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${cache-snapshot.interval:PT5M}", fixedDelayString = "${cache-snapshot.interval:PT5M}")
+    public void saveSnapshot() {
+        writeSnapshot(false);
+    }
+
+    @PreDestroy
+    public void saveSnapshotOnShutdown() {
+        writeSnapshot(true);
+    }
+
+    private void writeSnapshot(boolean loadMissing) {
+        try {
+            long generation = cache.getGeneration();
+            long usersVersion = userRepository.findUsersVersion();
+
+            List<Object> hottestKeys = cache.hottestKeys(maxEntries);
+            cache.decayAccessCounts();
+
+            Map<Object, Object> store = cache.getNativeCache();
+            List<UserResponseDTO> users = new ArrayList<>(hottestKeys.size());
+            List<UUID> missing = new ArrayList<>();
+            for (Object key : hottestKeys) {
+                if (store.get(key) instanceof UserResponseDTO user) {
+                    users.add(user);
+                } else if (loadMissing && key instanceof UUID id) {
+                    missing.add(id);
+                }
+            }
+            for (int from = 0; from < missing.size(); from += ID_BATCH_SIZE) {
+                List<UUID> batch = missing.subList(from, Math.min(from + ID_BATCH_SIZE, missing.size()));
+                Map<UUID, UserResponseDTO> loaded = userRepository.findAllByIdWithRole(batch).stream()
+                        .map(userMapper::toDto)
+                        .collect(Collectors.toMap(UserResponseDTO::getId, Function.identity()));
+                batch.stream().map(loaded::get).filter(Objects::nonNull).forEach(users::add);
+            }
+
+            if (cache.getGeneration() != generation || usersVersion != userRepository.findUsersVersion()) {
+                log.debug("Пользователи изменились во время снятия снимка кеша, снимок отложен");
+                return;
+            }
+            snapshotFile.write(usersVersion, users);
+            log.debug("Снимок кеша пользователей сохранён: {} записей", users.size());
+        } catch (Exception e) {
+            log.warn("Не удалось сохранить снимок кеша пользователей", e);
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.example.userapi.config;
 
+import com.example.userapi.cache.FrequencyTrackingCacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Set;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
     @Bean
+    @ConditionalOnProperty(prefix = "cache-snapshot", name = "enabled", havingValue = "false")
     public CacheManager cacheManager() {
         return new ConcurrentMapCacheManager("users", "roles");
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache-snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager frequencyTrackingCacheManager(@Value("${cache-snapshot.max-entries:10000}") int maxEntries) {
+        return new FrequencyTrackingCacheManager(Set.of("users"), maxEntries * 4, "users", "roles");
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.userapi.config;
+
+import com.example.userapi.dto.response.SuccessResponseDTO;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * При заголовке {@code X-Response-Envelope: none} вместо {@link SuccessResponseDTO}
+ * отдаётся только его {@code data}, без текстового сообщения. Ответы без {@code data}
+ * (например, удаление) возвращаются в конверте как обычно. Так как тело зависит от
+ * {@code Accept} и этого заголовка, оба перечисляются в {@code Vary}.
+ */
+@RestControllerAdvice
+public class ResponseEnvelopeAdvice implements ResponseBodyAdvice<Object> {
+    public static final String ENVELOPE_HEADER = "X-Response-Envelope";
+    public static final String ENVELOPE_NONE = "none";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().addAll(HttpHeaders.VARY, List.of(HttpHeaders.ACCEPT, ENVELOPE_HEADER));
+        if (body instanceof SuccessResponseDTO success
+                && success.getData() != null
+                && ENVELOPE_NONE.equalsIgnoreCase(request.getHeaders().getFirst(ENVELOPE_HEADER))) {
+            return success.getData();
+        }
+        return body;
+    }
+}
@@ -4,6 +4,7 @@ import com.example.userapi.dto.request.CreateUserRequestDTO;
 import com.example.userapi.dto.request.UpdateUserRequestDTO;
 import com.example.userapi.dto.response.SuccessResponseDTO;
 import com.example.userapi.dto.response.UserResponseDTO;
+import com.example.userapi.service.UserSearchService;
 import com.example.userapi.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +21,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserSearchService userSearchService;
 
     @PostMapping("/createNewUser")
     public ResponseEntity<SuccessResponseDTO> createUser(@Valid @RequestBody CreateUserRequestDTO request) {
@@ -33,6 +36,13 @@ public class UserController {
         return ResponseEntity.ok(SuccessResponseDTO.withData("Пользователь найден", user));
     }
 
+    @GetMapping("/users/search")
+    public ResponseEntity<SuccessResponseDTO> searchUsers(@RequestParam String query,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        List<UserResponseDTO> users = userSearchService.searchByFio(query, limit);
+        return ResponseEntity.ok(SuccessResponseDTO.withData("Найдено пользователей: " + users.size(), users));
+    }
+
     @PutMapping("/userDetailsUpdate")
     public ResponseEntity<SuccessResponseDTO> updateUser(@Valid @RequestBody UpdateUserRequestDTO request) {
         UserResponseDTO user = userService.updateUser(request);
@@ -1,17 +1,33 @@
 package com.example.userapi.repository;
 
 import com.example.userapi.model.User;
+import com.example.userapi.repository.projection.UserFioProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByPhoneNumber(String phoneNumber);
 
     @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.id = :id")
     Optional<User> findByIdWithRole(@Param("id") UUID id);
+
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.id IN :ids")
+    List<User> findAllByIdWithRole(@Param("ids") Collection<UUID> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id AS id, u.fio AS fio FROM User u")
+    Stream<UserFioProjection> streamAllFio();
+
+    @Query(value = "SELECT version FROM users_version WHERE id = 1", nativeQuery = true)
+    long findUsersVersion();
 }
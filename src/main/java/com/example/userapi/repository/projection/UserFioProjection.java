@@ -0,0 +1,8 @@
+package com.example.userapi.repository.projection;
+
+import java.util.UUID;
+
+public interface UserFioProjection {
+    UUID getId();
+    String getFio();
+}
@@ -0,0 +1,68 @@
+package com.example.userapi.search;
+
+import java.util.Arrays;
+
+/**
+ * Растущий список int-идентификаторов документов без упаковки в Integer.
+ * Идентификаторы добавляются по возрастанию, поэтому список всегда отсортирован.
+ */
+final class IntPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] docs = new int[INITIAL_CAPACITY];
+    private int size;
+
+    void add(int doc) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+        }
+        docs[size++] = doc;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Индекс первого идентификатора не меньше {@code doc}, начиная с позиции {@code from};
+     * {@link #size()}, если такого нет. Использует экспоненциальный поиск, поэтому
+     * последовательные вызовы с растущим {@code doc} стоят логарифм от длины прыжка.
+     */
+    int seek(int from, int doc) {
+        if (from >= size || docs[from] >= doc) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + step;
+        while (high < size && docs[high] < doc) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        int found = Arrays.binarySearch(docs, low + 1, Math.min(high, size), doc);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Переписывает идентификаторы по таблице {@code remap}, выбрасывая удалённые (-1).
+     * Порядок сохраняется, так как remap монотонен.
+     */
+    void remap(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int mapped = remap[docs[i]];
+            if (mapped >= 0) {
+                docs[kept++] = mapped;
+            }
+        }
+        size = kept;
+        if (docs.length > INITIAL_CAPACITY && size < docs.length >> 2) {
+            docs = Arrays.copyOf(docs, Math.max(size, INITIAL_CAPACITY));
+        }
+    }
+}
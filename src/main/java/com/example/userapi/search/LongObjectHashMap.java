@@ -0,0 +1,113 @@
+package com.example.userapi.search;
+
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Хеш-таблица с открытой адресацией и ключами long без упаковки в Long.
+ * Пустой слот обозначается значением {@code null}.
+ */
+final class LongObjectHashMap<V> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LongObjectHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private LongObjectHashMap(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(long key, LongFunction<V> factory) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        V value = factory.apply(key);
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Удаляет значения, подходящие под условие, и перестраивает таблицу под оставшиеся записи.
+     */
+    @SuppressWarnings("unchecked")
+    void removeValuesIf(Predicate<V> filter) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int kept = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null && filter.test((V) oldValues[i])) {
+                oldValues[i] = null;
+            } else if (oldValues[i] != null) {
+                kept++;
+            }
+        }
+        rehash(oldKeys, oldValues, capacityFor(kept));
+    }
+
+    private void resize(int capacity) {
+        rehash(keys, values, capacity);
+    }
+
+    private void rehash(long[] oldKeys, Object[] oldValues, int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        size = 0;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+            size++;
+        }
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,431 @@
+package com.example.userapi.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный триграммный индекс в памяти процесса.
+ * <p>
+ * Каждому пользователю выдаётся плотный int-идентификатор документа; posting-листы хранят
+ * только эти идентификаторы. UUID пользователя ищется по таблице с открытой адресацией,
+ * которая хранит лишь номера документов, а сами биты UUID берёт из массивов документов.
+ * Удалённые документы помечаются нулевым числом триграмм и вычищаются пакетно,
+ * когда их доля становится заметной.
+ */
+public class TrigramIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+    private static final int EMPTY_SLOT = 0;
+    private static final int REMOVED_SLOT = -1;
+    private static final double COVERAGE_WEIGHT = 0.8;
+    private static final double SCORE_EPSILON = 1e-9;
+
+    public record Hit(UUID userId, double score) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<IntPostingList> postings = new LongObjectHashMap<>();
+
+    private long[] mostSigBits = new long[INITIAL_CAPACITY];
+    private long[] leastSigBits = new long[INITIAL_CAPACITY];
+    private short[] trigramCounts = new short[INITIAL_CAPACITY];
+    private int docCount;
+    private int deadCount;
+
+    // номер документа + 1; EMPTY_SLOT — свободно, REMOVED_SLOT — удалённая запись
+    private int[] docSlots = new int[INITIAL_CAPACITY * 2];
+    private int usedSlots;
+
+    private Set<UUID> removedDuringLoad;
+
+    public void put(UUID userId, String text) {
+        long[] trigrams = Trigrams.extract(text);
+        lock.writeLock().lock();
+        try {
+            removeInternal(userId);
+            addInternal(userId, trigrams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(userId);
+            if (removedDuringLoad != null) {
+                removedDuringLoad.add(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Начинает первичную загрузку. Пока она идёт, записи из {@link #putIfAbsent} не перетирают
+     * более свежие изменения из {@link #put} и не воскрешают удалённых пользователей.
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putIfAbsent(UUID userId, String text) {
+        long[] trigrams = Trigrams.extract(text);
+        lock.writeLock().lock();
+        try {
+            if (findDoc(userId) >= 0
+                    || (removedDuringLoad != null && removedDuringLoad.contains(userId))) {
+                return;
+            }
+            addInternal(userId, trigrams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deadCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает до {@code limit} документов, содержащих не меньше {@code minSimilarity}
+     * триграмм запроса, по убыванию сходства. Сходство — доля найденных триграмм запроса
+     * с поправкой на коэффициент Дайса, чтобы при равном покрытии выше шли более короткие ФИО.
+     * <p>
+     * Документ с {@code required} общими триграммами обязан встретиться хотя бы в одном из
+     * {@code listCount - required + 1} самых коротких posting-листов. Кандидаты берутся только
+     * из них, а длинные листы проверяются точечным поиском. Когда top-k заполнен, порог
+     * {@code required} поднимается до минимума, при котором документ ещё может обойти
+     * худший результат, и набор листов для кандидатов сужается (как в MaxScore).
+     */
+    public List<Hit> search(String query, int limit, double minSimilarity) {
+        long[] queryTrigrams = Trigrams.extract(query);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            IntPostingList[] lists = new IntPostingList[queryTrigrams.length];
+            int listCount = 0;
+            for (long trigram : queryTrigrams) {
+                IntPostingList list = postings.get(trigram);
+                if (list != null && list.size() > 0) {
+                    lists[listCount++] = list;
+                }
+            }
+
+            Arrays.sort(lists, 0, listCount, Comparator.comparingInt(IntPostingList::size));
+
+            int q = queryTrigrams.length;
+            int required = Math.max(1, (int) Math.ceil(minSimilarity * q));
+            int essential = listCount - required + 1;
+            if (essential <= 0) {
+                return List.of();
+            }
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::score));
+
+            int[] positions = new int[listCount];
+            PostingMerger merger = new PostingMerger(lists, positions, essential);
+            while (merger.hasNext()) {
+                int doc = merger.next();
+                int common = merger.lastCount();
+                int docTrigrams = trigramCounts[doc];
+                if (docTrigrams == 0 || common + listCount - essential < required) {
+                    continue;
+                }
+                if (top.size() == limit && score(Math.min(common + listCount - essential, docTrigrams), q, docTrigrams)
+                        + SCORE_EPSILON <= top.peek().score()) {
+                    continue;
+                }
+                for (int i = essential; i < listCount && common + listCount - i >= required; i++) {
+                    positions[i] = lists[i].seek(positions[i], doc);
+                    if (positions[i] < lists[i].size() && lists[i].get(positions[i]) == doc) {
+                        common++;
+                    }
+                }
+                if (common < required) {
+                    continue;
+                }
+
+                double score = score(common, q, docTrigrams);
+                if (top.size() < limit) {
+                    top.add(new Hit(new UUID(mostSigBits[doc], leastSigBits[doc]), score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(new UUID(mostSigBits[doc], leastSigBits[doc]), score));
+                } else {
+                    continue;
+                }
+
+                if (top.size() == limit) {
+                    required = requiredToBeat(top.peek().score(), required, q);
+                    int narrowed = listCount - required + 1;
+                    if (narrowed <= 0) {
+                        break;
+                    }
+                    if (narrowed < essential) {
+                        essential = narrowed;
+                        merger.restrict(essential);
+                    }
+                }
+            }
+
+            List<Hit> result = new ArrayList<>(top);
+            result.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double score(int common, int queryTrigrams, int docTrigrams) {
+        double coverage = (double) common / queryTrigrams;
+        double dice = 2.0 * common / (queryTrigrams + docTrigrams);
+        return COVERAGE_WEIGHT * coverage + (1 - COVERAGE_WEIGHT) * dice;
+    }
+
+    /**
+     * Наименьшее число общих триграмм, при котором сходство может превысить {@code threshold}.
+     * Верхняя оценка берётся для документа, целиком состоящего из общих триграмм.
+     */
+    private static int requiredToBeat(double threshold, int required, int queryTrigrams) {
+        int common = required;
+        while (common <= queryTrigrams && score(common, queryTrigrams, common) + SCORE_EPSILON <= threshold) {
+            common++;
+        }
+        return common;
+    }
+
+    private void addInternal(UUID userId, long[] trigrams) {
+        if (trigrams.length == 0) {
+            return;
+        }
+        ensureCapacity(docCount + 1);
+        int doc = docCount++;
+        mostSigBits[doc] = userId.getMostSignificantBits();
+        leastSigBits[doc] = userId.getLeastSignificantBits();
+        trigramCounts[doc] = (short) Math.min(trigrams.length, Short.MAX_VALUE);
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, k -> new IntPostingList()).add(doc);
+        }
+        insertSlot(doc);
+    }
+
+    private void removeInternal(UUID userId) {
+        int slot = findSlot(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+        if (slot < 0) {
+            return;
+        }
+        int doc = docSlots[slot] - 1;
+        docSlots[slot] = REMOVED_SLOT;
+        trigramCounts[doc] = 0;
+        deadCount++;
+        if (deadCount >= MIN_DEAD_TO_COMPACT && deadCount * 4 >= docCount) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (trigramCounts[doc] == 0) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = live;
+                mostSigBits[live] = mostSigBits[doc];
+                leastSigBits[live] = leastSigBits[doc];
+                trigramCounts[live] = trigramCounts[doc];
+                live++;
+            }
+        }
+        postings.removeValuesIf(list -> {
+            list.remap(remap);
+            return list.size() == 0;
+        });
+        Arrays.fill(trigramCounts, live, docCount, (short) 0);
+        docCount = live;
+        deadCount = 0;
+        rebuildSlots(docSlots.length, docCount);
+    }
+
+    private int findDoc(UUID userId) {
+        int slot = findSlot(userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+        return slot < 0 ? -1 : docSlots[slot] - 1;
+    }
+
+    private int findSlot(long msb, long lsb) {
+        int mask = docSlots.length - 1;
+        for (int slot = slotHash(msb, lsb) & mask; docSlots[slot] != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            int doc = docSlots[slot] - 1;
+            if (doc >= 0 && mostSigBits[doc] == msb && leastSigBits[doc] == lsb) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insertSlot(int doc) {
+        if ((usedSlots + 1) * 2 > docSlots.length) {
+            int live = docCount - deadCount;
+            rebuildSlots(live * 4 > docSlots.length ? docSlots.length * 2 : docSlots.length, doc);
+        }
+        int mask = docSlots.length - 1;
+        int slot = slotHash(mostSigBits[doc], leastSigBits[doc]) & mask;
+        while (docSlots[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        docSlots[slot] = doc + 1;
+        usedSlots++;
+    }
+
+    /**
+     * Перестраивает таблицу поиска по UUID заново из живых документов, заодно избавляясь
+     * от удалённых записей.
+     */
+    private void rebuildSlots(int capacity, int docLimit) {
+        docSlots = new int[capacity];
+        usedSlots = 0;
+        int mask = capacity - 1;
+        for (int doc = 0; doc < docLimit; doc++) {
+            if (trigramCounts[doc] == 0) {
+                continue;
+            }
+            int slot = slotHash(mostSigBits[doc], leastSigBits[doc]) & mask;
+            while (docSlots[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            docSlots[slot] = doc + 1;
+            usedSlots++;
+        }
+    }
+
+    private static int slotHash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mostSigBits.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, mostSigBits.length + (mostSigBits.length >> 1));
+        mostSigBits = Arrays.copyOf(mostSigBits, newCapacity);
+        leastSigBits = Arrays.copyOf(leastSigBits, newCapacity);
+        trigramCounts = Arrays.copyOf(trigramCounts, newCapacity);
+    }
+
+    /**
+     * K-путевое слияние отсортированных posting-листов через бинарную кучу курсоров.
+     * Для каждого документа выдаёт число листов, в которых он встретился, не выделяя
+     * памяти пропорционально размеру индекса. Курсоры хранятся в общем массиве
+     * {@code positions}, чтобы листы, выведенные из слияния, продолжали с того же места.
+     */
+    private static final class PostingMerger {
+        private final IntPostingList[] lists;
+        private final int[] positions;
+        private final int[] heap;
+        private int heapSize;
+        private int lastCount;
+
+        PostingMerger(IntPostingList[] lists, int[] positions, int listCount) {
+            this.lists = lists;
+            this.positions = positions;
+            this.heap = new int[listCount];
+            restrict(listCount);
+        }
+
+        /**
+         * Оставляет в слиянии только листы с номерами меньше {@code listCount}.
+         */
+        void restrict(int listCount) {
+            heapSize = 0;
+            for (int i = 0; i < listCount; i++) {
+                if (positions[i] < lists[i].size()) {
+                    heap[heapSize++] = i;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        boolean hasNext() {
+            return heapSize > 0;
+        }
+
+        int next() {
+            int doc = current(heap[0]);
+            int count = 0;
+            while (heapSize > 0 && current(heap[0]) == doc) {
+                count++;
+                int list = heap[0];
+                if (++positions[list] < lists[list].size()) {
+                    siftDown(0);
+                } else {
+                    heap[0] = heap[--heapSize];
+                    if (heapSize > 0) {
+                        siftDown(0);
+                    }
+                }
+            }
+            lastCount = count;
+            return doc;
+        }
+
+        int lastCount() {
+            return lastCount;
+        }
+
+        private int current(int list) {
+            return lists[list].get(positions[list]);
+        }
+
+        private void siftDown(int i) {
+            int item = heap[i];
+            int key = current(item);
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && current(heap[child + 1]) < current(heap[child])) {
+                    child++;
+                }
+                if (current(heap[child]) >= key) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = item;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.userapi.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Разбиение строки на триграммы в стиле pg_trgm: каждое слово дополняется
+ * двумя пробелами слева и одним справа, триграмма упаковывается в long (3 × 16 бит).
+ */
+public final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    public static long[] extract(String text) {
+        if (text == null || text.isBlank()) {
+            return new long[0];
+        }
+        String normalized = normalize(text);
+        long[] buffer = new long[normalized.length() + 2];
+        int count = 0;
+        int wordStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean boundary = i == normalized.length() || normalized.charAt(i) == ' ';
+            if (!boundary && wordStart < 0) {
+                wordStart = i;
+            } else if (boundary && wordStart >= 0) {
+                count = appendWord(normalized, wordStart, i, buffer, count);
+                wordStart = -1;
+            }
+        }
+        Arrays.sort(buffer, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || buffer[distinct - 1] != buffer[i]) {
+                buffer[distinct++] = buffer[i];
+            }
+        }
+        return Arrays.copyOf(buffer, distinct);
+    }
+
+    private static int appendWord(String text, int from, int to, long[] buffer, int count) {
+        char c0 = ' ';
+        char c1 = ' ';
+        for (int i = from; i <= to; i++) {
+            char c2 = i < to ? text.charAt(i) : ' ';
+            buffer[count++] = ((long) c0 << 32) | ((long) c1 << 16) | c2;
+            c0 = c1;
+            c1 = c2;
+        }
+        return count;
+    }
+
+    private static String normalize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == 'ё') {
+                sb.append('е');
+            } else if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.userapi.service;
+
+import com.example.userapi.dto.response.UserResponseDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UserSearchService {
+    List<UserResponseDTO> searchByFio(String query, int limit);
+    void indexUser(UUID id, String fio);
+    void removeUser(UUID id);
+}
@@ -0,0 +1,103 @@
+package com.example.userapi.service.impl;
+
+import com.example.userapi.dto.response.UserResponseDTO;
+import com.example.userapi.mapper.UserMapper;
+import com.example.userapi.model.User;
+import com.example.userapi.repository.UserRepository;
+import com.example.userapi.repository.projection.UserFioProjection;
+import com.example.userapi.search.TrigramIndex;
+import com.example.userapi.service.UserSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserSearchServiceImpl implements UserSearchService {
+    private static final int MAX_LIMIT = 100;
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Value("${user-search.min-similarity:0.3}")
+    private double minSimilarity;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        index.beginLoad();
+        try (Stream<UserFioProjection> users = userRepository.streamAllFio()) {
+            users.forEach(user -> index.putIfAbsent(user.getId(), user.getFio()));
+        } finally {
+            index.endLoad();
+        }
+        log.info("Поисковый индекс по ФИО построен: {} пользователей за {} мс",
+                index.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDTO> searchByFio(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Поисковый запрос не должен быть пустым");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Параметр limit должен быть в диапазоне от 1 до " + MAX_LIMIT);
+        }
+
+        List<UUID> ids = index.search(query, limit, minSimilarity).stream()
+                .map(TrigramIndex.Hit::userId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, User> usersById = userRepository.findAllByIdWithRole(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(userMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public void indexUser(UUID id, String fio) {
+        afterCommit(() -> index.put(id, fio));
+    }
+
+    @Override
+    public void removeUser(UUID id) {
+        afterCommit(() -> index.remove(id));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -8,6 +8,7 @@ import com.example.userapi.mapper.UserMapper;
 import com.example.userapi.model.User;
 import com.example.userapi.repository.UserRepository;
 import com.example.userapi.service.RoleService;
+import com.example.userapi.service.UserSearchService;
 import com.example.userapi.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleService roleService;
     private final UserMapper userMapper;
+    private final UserSearchService userSearchService;
 
     @Override
     @Transactional
@@ -37,6 +39,7 @@ public class UserServiceImpl implements UserService {
         user.setRole(roleService.findOrCreateRole(request.getRoleName()));
 
         User savedUser = userRepository.save(user);
+        userSearchService.indexUser(savedUser.getId(), savedUser.getFio());
         return userMapper.toDto(savedUser);
     }
 
@@ -68,6 +71,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userSearchService.indexUser(updatedUser.getId(), updatedUser.getFio());
         return userMapper.toDto(updatedUser);
     }
 
@@ -79,6 +83,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new EntityNotFoundException("Пользователь с ID '" + id + "' не найден"));
 
         userRepository.delete(user);
+        userSearchService.removeUser(id);
 
         UUID roleId = user.getRole().getId();
         if (!roleService.isRoleInUse(roleId)) {
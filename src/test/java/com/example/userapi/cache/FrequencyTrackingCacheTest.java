@@ -0,0 +1,67 @@
+package com.example.userapi.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencyTrackingCacheTest {
+
+    private final FrequencyTrackingCache cache = new FrequencyTrackingCache("users", true, 3);
+
+    @Test
+    void hottestKeysAreOrderedByHitsAndMissesAreIgnored() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("b");
+        cache.get("b");
+        cache.get("a");
+        cache.get("missing");
+
+        assertEquals(List.of("b", "a"), cache.hottestKeys(10));
+        assertEquals(List.of("b"), cache.hottestKeys(1));
+        assertEquals(List.of(), cache.hottestKeys(0));
+    }
+
+    @Test
+    void newKeyDisplacesLeastAccessedKeyWhenFull() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("b");
+        cache.get("c");
+
+        cache.put("d", 4);
+
+        assertEquals(Set.of("b", "c", "d"), Set.copyOf(cache.hottestKeys(10)));
+    }
+
+    @Test
+    void decayForgetsKeysThatWereNotAccessedAgain() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("b");
+
+        cache.decayAccessCounts();
+
+        assertEquals(List.of("b"), cache.hottestKeys(10));
+    }
+
+    @Test
+    void warmIsRejectedAfterInvalidation() {
+        long generation = cache.getGeneration();
+        cache.clear();
+
+        assertFalse(cache.warm(Map.of("a", 1), generation));
+        assertNull(cache.get("a"));
+
+        assertTrue(cache.warm(Map.of("a", 1), cache.getGeneration()));
+        assertEquals(1, cache.get("a").get());
+    }
+}
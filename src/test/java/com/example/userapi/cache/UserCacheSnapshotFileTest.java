@@ -0,0 +1,102 @@
+package com.example.userapi.cache;
+
+import com.example.userapi.dto.response.RoleResponseDTO;
+import com.example.userapi.dto.response.UserResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserCacheSnapshotFileTest {
+    private static final int FORMAT_VERSION_OFFSET = 4;
+    private static final int HEADER_SIZE = 36;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip() throws IOException {
+        UserCacheSnapshotFile file = new UserCacheSnapshotFile(dir.resolve("nested/users.snapshot"));
+        List<UserResponseDTO> users = sampleUsers();
+
+        file.write(42, users);
+        Optional<UserCacheSnapshotFile.Snapshot> snapshot = file.read();
+
+        assertTrue(snapshot.isPresent());
+        assertEquals(42, snapshot.get().usersVersion());
+        assertEquals(users, snapshot.get().users());
+    }
+
+    @Test
+    void laterWriteReplacesEarlierOne() throws IOException {
+        UserCacheSnapshotFile file = new UserCacheSnapshotFile(dir.resolve("users.snapshot"));
+
+        file.write(1, sampleUsers());
+        file.write(2, List.of());
+
+        assertEquals(2, file.read().orElseThrow().usersVersion());
+        assertEquals(List.of(), file.read().orElseThrow().users());
+    }
+
+    @Test
+    void missingFileIsIgnored() throws IOException {
+        assertTrue(new UserCacheSnapshotFile(dir.resolve("absent.snapshot")).read().isEmpty());
+    }
+
+    @Test
+    void truncatedFileIsIgnored() throws IOException {
+        Path path = dir.resolve("users.snapshot");
+        UserCacheSnapshotFile file = new UserCacheSnapshotFile(path);
+        file.write(7, sampleUsers());
+        byte[] bytes = Files.readAllBytes(path);
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 5));
+        assertTrue(file.read().isEmpty());
+
+        Files.write(path, Arrays.copyOf(bytes, HEADER_SIZE - 1));
+        assertTrue(file.read().isEmpty());
+    }
+
+    @Test
+    void flippedPayloadByteIsIgnored() throws IOException {
+        Path path = dir.resolve("users.snapshot");
+        UserCacheSnapshotFile file = new UserCacheSnapshotFile(path);
+        file.write(7, sampleUsers());
+        byte[] bytes = Files.readAllBytes(path);
+
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertTrue(file.read().isEmpty());
+    }
+
+    @Test
+    void otherFormatVersionIsIgnored() throws IOException {
+        Path path = dir.resolve("users.snapshot");
+        UserCacheSnapshotFile file = new UserCacheSnapshotFile(path);
+        file.write(7, sampleUsers());
+        byte[] bytes = Files.readAllBytes(path);
+
+        bytes[FORMAT_VERSION_OFFSET + 3]++;
+        Files.write(path, bytes);
+
+        assertTrue(file.read().isEmpty());
+    }
+
+    private static List<UserResponseDTO> sampleUsers() {
+        RoleResponseDTO role = new RoleResponseDTO(UUID.randomUUID(), "user");
+        return List.of(
+                new UserResponseDTO(UUID.randomUUID(), "Смирнов Антон Алексеевич", "+71234567890",
+                        "https://example.com/avatar.jpg", role),
+                new UserResponseDTO(UUID.randomUUID(), "Иванова Мария Сергеевна", "+79998887766", null, role));
+    }
+}
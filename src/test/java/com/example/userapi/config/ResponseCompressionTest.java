@@ -0,0 +1,109 @@
+package com.example.userapi.config;
+
+import com.example.userapi.controller.UserController;
+import com.example.userapi.dto.response.RoleResponseDTO;
+import com.example.userapi.dto.response.UserResponseDTO;
+import com.example.userapi.service.UserSearchService;
+import com.example.userapi.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Сжатие выполняет сам Tomcat, поэтому проверяется на настоящем сервере,
+ * а не через MockMvc. Настройки {@code server.compression} берутся из application.yml.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCompressionTest {
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import({UserController.class, BinaryFormatConfig.class, ResponseEnvelopeAdvice.class})
+    static class TestApplication {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private UserSearchService userSearchService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void largeResponseIsGzipped() throws Exception {
+        when(userSearchService.searchByFio(anyString(), anyInt())).thenReturn(users(20));
+
+        HttpResponse<InputStream> response = send("/api/users/search?query=smirnov");
+
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            assertTrue(new String(body.readAllBytes(), StandardCharsets.UTF_8).contains("Найдено пользователей: 20"));
+        }
+    }
+
+    @Test
+    void smallResponseIsNotCompressed() throws Exception {
+        UserResponseDTO user = users(1).get(0);
+        when(userService.getUserById(user.getId())).thenReturn(user);
+
+        HttpResponse<InputStream> response = send("/api/users?userID=" + user.getId());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    private HttpResponse<InputStream> send(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static List<UserResponseDTO> users(int count) {
+        RoleResponseDTO role = new RoleResponseDTO(UUID.randomUUID(), "user");
+        List<UserResponseDTO> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(UserResponseDTO.builder()
+                    .id(UUID.randomUUID())
+                    .fio("Смирнов Антон Алексеевич")
+                    .phoneNumber(String.format("+7999%07d", i))
+                    .avatar("https://example.com/avatars/" + i + ".jpg")
+                    .role(role)
+                    .build());
+        }
+        return users;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.userapi.config;
+
+import com.example.userapi.dto.response.RoleResponseDTO;
+import com.example.userapi.dto.response.SuccessResponseDTO;
+import com.example.userapi.dto.response.UserResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнивает размер и время сериализации списка пользователей в JSON, CBOR и Smile,
+ * с конвертом {@link SuccessResponseDTO} и без него, с gzip и без. Мапперы берутся
+ * из тех же бинов, что регистрирует приложение.
+ * <p>
+ * Тест помечен тегом {@code benchmark} и по умолчанию исключён из сборки. Запуск:
+ * {@code mvn test -DexcludedGroups=none -Dgroups=benchmark}. Время — грубая оценка
+ * в общей JVM, а не замер уровня JMH.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(classes = {JacksonAutoConfiguration.class, BinaryFormatConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ResponseFormatBenchmarkTest {
+    private static final int USERS = 500;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void compareFormats() throws IOException {
+        List<UserResponseDTO> users = sampleUsers();
+        SuccessResponseDTO envelope = SuccessResponseDTO.withData("Найдено пользователей: " + users.size(), users);
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", jsonMapper);
+        mappers.put("cbor", cborConverter.getObjectMapper());
+        mappers.put("smile", smileConverter.getObjectMapper());
+
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        log.info(String.format("%-22s %10s %10s %12s %12s", "format", "bytes", "gzip", "ser us", "ser+gzip us"));
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            for (boolean withEnvelope : new boolean[]{true, false}) {
+                Object body = withEnvelope ? envelope : users;
+                String name = entry.getKey() + (withEnvelope ? "" : " (без конверта)");
+                ObjectMapper mapper = entry.getValue();
+
+                byte[] plain = mapper.writeValueAsBytes(body);
+                byte[] gzipped = gzip(plain);
+                sizes.put(name, plain.length);
+                sizes.put(name + " gzip", gzipped.length);
+
+                log.info(String.format("%-22s %10d %10d %12.1f %12.1f", name, plain.length, gzipped.length,
+                        measureMicros(mapper, body, false), measureMicros(mapper, body, true)));
+            }
+        }
+
+        assertTrue(sizes.get("cbor") < sizes.get("json"));
+        assertTrue(sizes.get("smile") < sizes.get("json"));
+        assertTrue(sizes.get("json gzip") < sizes.get("json"));
+        assertTrue(sizes.get("cbor (без конверта)") < sizes.get("cbor"));
+    }
+
+    private static double measureMicros(ObjectMapper mapper, Object body, boolean compress) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            serialize(mapper, body, compress);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            serialize(mapper, body, compress);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+    }
+
+    private static byte[] serialize(ObjectMapper mapper, Object body, boolean compress) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        return compress ? gzip(bytes) : bytes;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<UserResponseDTO> sampleUsers() {
+        String[] surnames = {"Смирнов", "Иванова", "Кузнецов", "Попова", "Соколов", "Лебедева"};
+        String[] names = {"Антон Алексеевич", "Анна Петровна", "Иван Иванович", "Мария Сергеевна"};
+        RoleResponseDTO user = new RoleResponseDTO(UUID.randomUUID(), "user");
+        RoleResponseDTO admin = new RoleResponseDTO(UUID.randomUUID(), "admin");
+
+        List<UserResponseDTO> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UserResponseDTO.builder()
+                    .id(UUID.randomUUID())
+                    .fio(surnames[i % surnames.length] + " " + names[i % names.length])
+                    .phoneNumber(String.format("+7999%07d", i))
+                    .avatar("https://example.com/avatars/" + i + ".jpg")
+                    .role(i % 10 == 0 ? admin : user)
+                    .build());
+        }
+        return users;
+    }
+}
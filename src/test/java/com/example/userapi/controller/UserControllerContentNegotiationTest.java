@@ -0,0 +1,125 @@
+package com.example.userapi.controller;
+
+import com.example.userapi.config.BinaryFormatConfig;
+import com.example.userapi.config.ResponseEnvelopeAdvice;
+import com.example.userapi.dto.response.RoleResponseDTO;
+import com.example.userapi.dto.response.UserResponseDTO;
+import com.example.userapi.service.UserSearchService;
+import com.example.userapi.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserController.class)
+@Import(BinaryFormatConfig.class)
+class UserControllerContentNegotiationTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private UserSearchService userSearchService;
+
+    private final UserResponseDTO user = UserResponseDTO.builder()
+            .id(UUID.randomUUID())
+            .fio("Смирнов Антон Алексеевич")
+            .phoneNumber("+71234567890")
+            .role(new RoleResponseDTO(UUID.randomUUID(), "user"))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getUserById(user.getId())).thenReturn(user);
+    }
+
+    @Test
+    void cborWritesUuidAsSixteenBytes() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/users").param("userID", user.getId().toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode id = new ObjectMapper(new CBORFactory()).readTree(body).path("data").path("id");
+        assertTrue(id.isBinary());
+        assertArrayEquals(bytes(user.getId()), id.binaryValue());
+    }
+
+    @Test
+    void smileWritesUuidAsSixteenBytes() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/users").param("userID", user.getId().toString()).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode data = new ObjectMapper(new SmileFactory()).readTree(body).path("data");
+        assertTrue(data.path("id").isBinary());
+        assertArrayEquals(bytes(user.getId()), data.path("id").binaryValue());
+        assertEquals(user.getFio(), data.path("fio").asText());
+    }
+
+    @Test
+    void anyMediaTypeFallsBackToJson() throws Exception {
+        mockMvc.perform(get("/api/users").param("userID", user.getId().toString()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Пользователь найден"))
+                .andExpect(jsonPath("$.data.id").value(user.getId().toString()));
+    }
+
+    @Test
+    void envelopeNoneReturnsDataOnly() throws Exception {
+        mockMvc.perform(get("/api/users").param("userID", user.getId().toString())
+                        .header(ResponseEnvelopeAdvice.ENVELOPE_HEADER, ResponseEnvelopeAdvice.ENVELOPE_NONE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId().toString()))
+                .andExpect(jsonPath("$.message").doesNotExist())
+                .andExpect(header().stringValues(HttpHeaders.VARY,
+                        hasItems(HttpHeaders.ACCEPT, ResponseEnvelopeAdvice.ENVELOPE_HEADER)));
+    }
+
+    @Test
+    void envelopeNoneKeepsEnvelopeWithoutData() throws Exception {
+        mockMvc.perform(delete("/api/users").param("userID", user.getId().toString())
+                        .header(ResponseEnvelopeAdvice.ENVELOPE_HEADER, ResponseEnvelopeAdvice.ENVELOPE_NONE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Пользователь успешно удален"));
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.userapi.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntPostingListTest {
+
+    @Test
+    void remapDropsRemovedDocsAndKeepsOrder() {
+        IntPostingList list = new IntPostingList();
+        for (int doc = 0; doc < 100; doc++) {
+            list.add(doc);
+        }
+        int[] remap = new int[100];
+        int next = 0;
+        for (int doc = 0; doc < 100; doc++) {
+            remap[doc] = doc % 3 == 0 ? next++ : -1;
+        }
+
+        list.remap(remap);
+
+        assertEquals(34, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(i, list.get(i));
+        }
+    }
+
+    @Test
+    void remapToEmpty() {
+        IntPostingList list = new IntPostingList();
+        list.add(0);
+        list.add(1);
+
+        list.remap(new int[]{-1, -1});
+
+        assertEquals(0, list.size());
+        list.add(7);
+        assertEquals(7, list.get(0));
+    }
+
+    @Test
+    void seekFindsFirstDocNotLessThanTarget() {
+        IntPostingList list = new IntPostingList();
+        for (int doc = 0; doc < 1000; doc += 3) {
+            list.add(doc);
+        }
+
+        assertEquals(0, list.seek(0, 0));
+        assertEquals(1, list.seek(0, 1));
+        assertEquals(1, list.seek(0, 3));
+        assertEquals(334, list.seek(0, 1000));
+        assertEquals(100, list.seek(50, 299));
+        assertEquals(100, list.seek(100, 10));
+        assertEquals(list.size(), list.seek(list.size(), 5));
+        for (int target = 0; target < 1002; target++) {
+            int index = list.seek(0, target);
+            assertEquals((target + 2) / 3, index);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.userapi.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    void exactMatchRanksFirst() {
+        UUID anton = UUID.randomUUID();
+        UUID anna = UUID.randomUUID();
+        index.put(anton, "Смирнов Антон Алексеевич");
+        index.put(anna, "Смирнова Анна Петровна");
+        index.put(UUID.randomUUID(), "Иванов Иван Иванович");
+
+        List<TrigramIndex.Hit> hits = index.search("смирнов антон", 10, MIN_SIMILARITY);
+
+        assertEquals(List.of(anton, anna), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        UUID id = UUID.randomUUID();
+        index.put(id, "Петров Пётр");
+        index.put(id, "Сидоров Сидор");
+
+        assertEquals(List.of(), ids(index.search("петров", 10, MIN_SIMILARITY)));
+        assertEquals(List.of(id), ids(index.search("сидоров", 10, MIN_SIMILARITY)));
+        assertEquals(1, index.size());
+
+        index.remove(id);
+
+        assertEquals(List.of(), ids(index.search("сидоров", 10, MIN_SIMILARITY)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void searchMatchesBruteForceRanking() {
+        Random random = new Random(42);
+        String[] surnames = {"Смирнов", "Смирнова", "Иванов", "Иванова", "Кузнецов", "Попов", "Соколов", "Лебедев"};
+        String[] names = {"Антон", "Анна", "Иван", "Мария", "Пётр", "Ольга"};
+        List<UUID> ids = new ArrayList<>();
+        List<String> fios = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID id = UUID.randomUUID();
+            String fio = surnames[random.nextInt(surnames.length)] + " " + names[random.nextInt(names.length)]
+                    + " " + random.nextInt(1000);
+            ids.add(id);
+            fios.add(fio);
+            index.put(id, fio);
+        }
+
+        String query = "Смирнова Анна 12";
+        List<TrigramIndex.Hit> hits = index.search(query, 20, MIN_SIMILARITY);
+
+        List<Double> expected = bruteForceScores(fios, query, MIN_SIMILARITY);
+
+        assertEquals(20, hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            assertEquals(expected.get(i), hits.get(i).score(), 1e-9);
+        }
+    }
+
+    @Test
+    void prunedSearchMatchesBruteForceForManyQueries() {
+        Random random = new Random(7);
+        String[] surnames = {"Иванов", "Иванова", "Смирнов", "Кузнецов", "Степанов", "Романов", "Ковалёв", "Новиков"};
+        String[] names = {"Иван", "Антон", "Анна", "Мария", "Роман", "Степан"};
+        String[] patronymics = {"Иванович", "Ивановна", "Петрович", "Романович", "Степановна"};
+        List<String> fios = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String surname = surnames[random.nextInt(surnames.length)];
+            if (random.nextInt(4) == 0) {
+                surname += random.nextInt(100);
+            }
+            String fio = surname + " " + names[random.nextInt(names.length)]
+                    + " " + patronymics[random.nextInt(patronymics.length)];
+            fios.add(fio);
+            index.put(UUID.randomUUID(), fio);
+        }
+
+        String[] queries = {"иванов", "Иванов Иван Иванович", "смирнов антон", "ковалев", "Смерноф", "ов", "степан 42"};
+        for (String query : queries) {
+            for (int limit : new int[]{1, 5, 50}) {
+                for (double minSimilarity : new double[]{0.1, 0.3, 0.6}) {
+                    List<Double> expected = bruteForceScores(fios, query, minSimilarity);
+                    List<Double> actual = index.search(query, limit, minSimilarity).stream()
+                            .map(TrigramIndex.Hit::score)
+                            .toList();
+
+                    assertEquals(Math.min(limit, expected.size()), actual.size(), query);
+                    for (int i = 0; i < actual.size(); i++) {
+                        assertEquals(expected.get(i), actual.get(i), 1e-9, query);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void searchStillWorksAfterCompaction() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            index.put(id, "Фамилия" + i + " Имя");
+        }
+        for (int i = 0; i < 2000; i++) {
+            index.remove(ids.get(i));
+        }
+
+        assertEquals(1000, index.size());
+        assertEquals(List.of(), ids(index.search("Фамилия1500 Имя", 1, 0.9)));
+        assertEquals(List.of(ids.get(2500)), ids(index.search("Фамилия2500 Имя", 1, 0.9)));
+
+        index.put(ids.get(1500), "Фамилия1500 Имя");
+        index.remove(ids.get(2500));
+
+        assertEquals(List.of(ids.get(1500)), ids(index.search("Фамилия1500 Имя", 1, 0.9)));
+        assertEquals(List.of(), ids(index.search("Фамилия2500 Имя", 1, 0.9)));
+        assertEquals(1000, index.size());
+    }
+
+    @Test
+    void loadDoesNotOverwriteUpdateMadeDuringLoad() {
+        UUID id = UUID.randomUUID();
+        index.beginLoad();
+        index.put(id, "Новикова Ольга");
+        index.putIfAbsent(id, "Шапиро Игорь");
+        index.endLoad();
+
+        assertEquals(List.of(id), ids(index.search("новикова", 10, MIN_SIMILARITY)));
+        assertEquals(List.of(), ids(index.search("шапиро", 10, MIN_SIMILARITY)));
+    }
+
+    @Test
+    void loadDoesNotResurrectUserDeletedDuringLoad() {
+        UUID deleted = UUID.randomUUID();
+        UUID loaded = UUID.randomUUID();
+        index.beginLoad();
+        index.remove(deleted);
+        index.putIfAbsent(deleted, "Волков Иван");
+        index.putIfAbsent(loaded, "Волкова Мария");
+        index.endLoad();
+
+        assertEquals(List.of(loaded), ids(index.search("волкова", 10, MIN_SIMILARITY)));
+        assertEquals(1, index.size());
+
+        index.putIfAbsent(deleted, "Волков Иван");
+        assertEquals(2, index.size());
+    }
+
+    private static List<Double> bruteForceScores(List<String> fios, String query, double minSimilarity) {
+        long[] queryTrigrams = Trigrams.extract(query);
+        List<Double> scores = new ArrayList<>();
+        for (String fio : fios) {
+            long[] docTrigrams = Trigrams.extract(fio);
+            long common = Arrays.stream(docTrigrams).filter(t -> Arrays.binarySearch(queryTrigrams, t) >= 0).count();
+            double coverage = (double) common / queryTrigrams.length;
+            if (common > 0 && coverage >= minSimilarity) {
+                scores.add(0.8 * coverage + 0.2 * 2.0 * common / (queryTrigrams.length + docTrigrams.length));
+            }
+        }
+        scores.sort(Comparator.reverseOrder());
+        return scores;
+    }
+
+        private static List<UUID> ids(List<TrigramIndex.Hit> hits) {
+        return hits.stream().map(TrigramIndex.Hit::userId).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.userapi.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramsTest {
+
+    @Test
+    void emptyInputHasNoTrigrams() {
+        assertEquals(0, Trigrams.extract(null).length);
+        assertEquals(0, Trigrams.extract("").length);
+        assertEquals(0, Trigrams.extract("  \t ").length);
+        assertEquals(0, Trigrams.extract("-.,!").length);
+    }
+
+    @Test
+    void yoIsFoldedToYe() {
+        assertArrayEquals(Trigrams.extract("Семенов Пётр"), Trigrams.extract("СЕМЁНОВ петр"));
+    }
+
+    @Test
+    void punctuationSplitsWords() {
+        assertArrayEquals(Trigrams.extract("иванов петров и и"), Trigrams.extract("Иванов-Петров, И.И."));
+    }
+
+    @Test
+    void wordIsPaddedLikePgTrgm() {
+        long[] trigrams = Trigrams.extract("кот");
+
+        assertArrayEquals(new long[]{
+                pack(' ', ' ', 'к'), pack(' ', 'к', 'о'), pack('к', 'о', 'т'), pack('о', 'т', ' ')
+        }, sorted(trigrams));
+    }
+
+    @Test
+    void trigramsAreSortedAndDistinct() {
+        long[] trigrams = Trigrams.extract("ааааа ааааа");
+
+        for (int i = 1; i < trigrams.length; i++) {
+            assertTrue(trigrams[i - 1] < trigrams[i]);
+        }
+        assertEquals(4, trigrams.length);
+    }
+
+    private static long pack(char c0, char c1, char c2) {
+        return ((long) c0 << 32) | ((long) c1 << 16) | c2;
+    }
+
+    private static long[] sorted(long[] values) {
+        long[] copy = values.clone();
+        java.util.Arrays.sort(copy);
+        return copy;
+    }
+}